@@ -9,8 +9,10 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /// Parses and retrieves device configurations from a `config.json` file in the same directory.
 ///
@@ -37,7 +39,7 @@ public class ConfigParser {
 	/// The configurations for every device in the `config.json` file.
 	private static final Map<String, DeviceConfig> devices = new HashMap<>(7);
 
-	/// Returns a record containing the port, IP address, and neighbors of a given device by its ID.
+	/// Returns a record containing the port, IP address, neighbors, and VLAN ports of a given device by its ID.
 	public static DeviceConfig getConfigForDevice(String id) {
 		updateConfigMap();
 		return devices.get(id);
@@ -62,9 +64,10 @@ public class ConfigParser {
 	}
 
 	/// Reloads/reparses the `config.json` file just in case it was changed during runtime.
-	/// If the reloaded config is broken (returns `null`), keeps the old config.
+	/// If the reloaded config is broken (returns `null` or has an invalid VLAN setup), keeps the old config.
 	///
 	/// @see #loadConfigFile()
+	/// @see #convertVlanPorts(String, Map, String[])
 	private static void updateConfigMap() {
 		// can be null if error occurs
 		ConfigSnapshot snapshot = loadConfigFile();
@@ -72,16 +75,95 @@ public class ConfigParser {
 		if (snapshot == null)
 			return;
 
-		topology = new TopologyGraph(snapshot.links);
+		TopologyGraph newTopology = new TopologyGraph(snapshot.links);
+		Map<String, DeviceConfig> newDevices = new HashMap<>();
 
-		devices.clear();
-		snapshot.devices.forEach((id, rawConfig) -> devices.put(
-				id, new DeviceConfig(
+		// built aside first so that a VLAN mistake in one device doesn't leave a half-updated config
+		try {
+			snapshot.devices.forEach((id, rawConfig) -> {
+				String[] neighbors = newTopology.getAdjacentDevicesOf(id);
+
+				newDevices.put(id, new DeviceConfig(
 						rawConfig.port,
 						rawConfig.ipAddress,
-						topology.getAdjacentDevicesOf(id)
-				)
-		));
+						neighbors,
+						convertVlanPorts(id, rawConfig.vlanPorts, neighbors)
+				));
+			});
+		}
+		catch (IllegalArgumentException e) {
+			printErrorWithMessage(e);
+			return;
+		}
+
+		topology = newTopology;
+		devices.clear();
+		devices.putAll(newDevices);
+	}
+
+	/// Converts the raw `vlanPorts` section of a device into `PortConfig`s.
+	/// Devices without the section (such as hosts) get an empty map,
+	/// so every one of their ports falls back to `PortConfig.DEFAULT`.
+	///
+	/// @throws IllegalArgumentException if a port names a device that isn't a neighbor,
+	///                                  has a missing or unknown mode, uses the wrong VLAN key for its mode,
+	///                                  or uses a VLAN ID outside `PortConfig.MIN_VLAN`-`PortConfig.MAX_VLAN`.
+	private static Map<String, PortConfig> convertVlanPorts(
+			String deviceID, Map<String, RawPortConfig> rawPorts, String[] neighbors
+	) {
+		Map<String, PortConfig> ports = new HashMap<>();
+
+		if (rawPorts == null)
+			return ports;
+
+		List<String> neighborList = neighbors == null ? List.of() : List.of(neighbors);
+
+		rawPorts.forEach((neighborID, rawPort) -> {
+			String portName = String.format("Port from %s to %s", deviceID, neighborID);
+
+			if (!neighborList.contains(neighborID))
+				throw new IllegalArgumentException(portName + " does not match any link in the topology.");
+
+			if (rawPort.mode == null)
+				throw new IllegalArgumentException(portName + " needs a mode of \"access\" or \"trunk\".");
+
+			PortConfig port = switch (rawPort.mode) {
+				case ACCESS -> {
+					if (rawPort.vlan == null || rawPort.vlans != null || rawPort.nativeVlan != null)
+						throw new IllegalArgumentException(portName + " is an access port and needs exactly one \"vlan\".");
+
+					validateVlan(portName, rawPort.vlan);
+					yield new PortConfig(PortMode.ACCESS, Set.of(rawPort.vlan), rawPort.vlan);
+				}
+				case TRUNK -> {
+					if (rawPort.vlan != null)
+						throw new IllegalArgumentException(portName + " is a trunk port and takes \"vlans\", not \"vlan\".");
+
+					int nativeVlan = rawPort.nativeVlan == null ? PortConfig.DEFAULT_VLAN : rawPort.nativeVlan;
+					validateVlan(portName, nativeVlan);
+
+					// a missing list means every VLAN, while an empty list means exactly that: none
+					if (rawPort.vlans == null)
+						yield new PortConfig(PortMode.TRUNK, null, nativeVlan);
+
+					rawPort.vlans.forEach(vlanID -> validateVlan(portName, vlanID));
+					yield new PortConfig(PortMode.TRUNK, Set.copyOf(rawPort.vlans), nativeVlan);
+				}
+			};
+
+			ports.put(neighborID, port);
+		});
+
+		return ports;
+	}
+
+	/// Rejects VLAN IDs that are reserved or out of range.
+	private static void validateVlan(String portName, Integer vlanID) {
+		if (vlanID == null || vlanID < PortConfig.MIN_VLAN || vlanID > PortConfig.MAX_VLAN)
+			throw new IllegalArgumentException(String.format(
+					"%s has VLAN %s, but VLANs must be between %d and %d.",
+					portName, vlanID, PortConfig.MIN_VLAN, PortConfig.MAX_VLAN
+			));
 	}
 
 	/// Uses GSON to convert the `config.json` file to a map of devices and a map of topological edges for the graph.
@@ -101,7 +183,7 @@ public class ConfigParser {
 		}
 	}
 
-	/// Should an error occur in `#loadConfigFile`,
+	/// Should an error occur in `#loadConfigFile` or `#convertVlanPorts`,
 	/// print a helpful message along with the error.
 	private static void printErrorWithMessage(Exception e) {
 		String extraMessage = switch (e) {
@@ -109,6 +191,7 @@ public class ConfigParser {
 			case JsonSyntaxException _ -> "Could not correctly parse config file.";
 			case FileNotFoundException _ -> "Config file not found.";
 			case IOException _ -> "Unexpected file-related issue occurred.";
+			case IllegalArgumentException invalid -> "Invalid VLAN configuration. " + invalid.getMessage();
 
 			default -> "Unhandled exception occurred.";
 		};
@@ -127,7 +210,19 @@ public class ConfigParser {
 	/// Harbors an effectively identical structure to that of the device values in the `config.json` file.
 	private record RawDeviceConfig(
 			String ipAddress,
-			int port
+			int port,
+			Map<String, RawPortConfig> vlanPorts
+	) {
+	}
+
+	/// Harbors an effectively identical structure to that of a port in a device's `vlanPorts` section.
+	/// Access ports use `vlan`, trunk ports use `vlans` and optionally `nativeVlan`.
+	/// Gson leaves an unknown `mode` (including a miscased one) as `null`.
+	private record RawPortConfig(
+			PortMode mode,
+			Integer vlan,
+			List<Integer> vlans,
+			Integer nativeVlan
 	) {
 	}
 
@@ -170,5 +265,43 @@ public class ConfigParser {
 		finally {
 			System.out.printf("End of the line%n");
 		}
+
+		System.out.printf("%nVLAN ports:%n");
+		devices.forEach((id, config) -> {
+			System.out.printf("%s %s%n", id, config.ports());
+
+			for (String neighborID : config.neighbors()) {
+				PortConfig port = config.portTo(neighborID);
+				System.out.printf(
+						"  to %-3s -> %-6s | VLANs: %-8s | native: %d%n", neighborID, port.mode(),
+						port.carriesAllVlans() ? "all" : port.vlans(), port.nativeVlan()
+				);
+			}
+		});
+
+		System.out.printf("%nVLAN config validation:%n");
+		String[] neighbors = {"A", "S2"};
+		Map<String, Map<String, RawPortConfig>> cases = new LinkedHashMap<>();
+		cases.put("unknown mode", Map.of("A", new RawPortConfig(null, 10, null, null)));
+		cases.put("access with vlans", Map.of("A", new RawPortConfig(PortMode.ACCESS, null, List.of(10), null)));
+		cases.put("trunk with vlan", Map.of("S2", new RawPortConfig(PortMode.TRUNK, 10, null, null)));
+		cases.put("VLAN 0", Map.of("A", new RawPortConfig(PortMode.ACCESS, 0, null, null)));
+		cases.put("VLAN 4095", Map.of("S2", new RawPortConfig(PortMode.TRUNK, null, List.of(10, 4095), null)));
+		cases.put("unknown neighbor", Map.of("S9", new RawPortConfig(PortMode.ACCESS, 10, null, null)));
+		cases.put("empty trunk", Map.of("S2", new RawPortConfig(PortMode.TRUNK, null, List.of(), null)));
+		cases.put("all-VLAN trunk", Map.of("S2", new RawPortConfig(PortMode.TRUNK, null, null, 99)));
+
+		cases.forEach((name, rawPorts) -> {
+			try {
+				PortConfig port = convertVlanPorts("S1", rawPorts, neighbors).values().iterator().next();
+				System.out.printf(
+						"%-18s accepted: carries 10? %b | carries all? %b%n",
+						name, port.carries(10), port.carriesAllVlans()
+				);
+			}
+			catch (IllegalArgumentException e) {
+				System.out.printf("%-18s rejected: %s%n", name, e.getMessage());
+			}
+		});
 	}
 }
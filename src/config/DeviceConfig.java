@@ -1,5 +1,7 @@
 package config;
 
+import java.util.Map;
+
 /// Stores configuration information for network devices except for the device ID.
 /// Device IDs are passed into and handled by the `ConfigParser`.
 ///
@@ -9,11 +11,18 @@ package config;
 /// @param port      The port on which the host or switch operates
 /// @param ipAddress The IP address on which the host or switch operates
 /// @param neighbors A string array of neighboring devices' IDs
+/// @param ports     The VLAN configuration of the port leading to each neighbor, keyed by neighbor ID
 ///
 /// @author KxtR-27 (Kat)
 /// @see ConfigParser
 public record DeviceConfig(
 		int port,
 		String ipAddress,
-		String[] neighbors
-) {}
+		String[] neighbors,
+		Map<String, PortConfig> ports
+) {
+	/// Returns the VLAN configuration of the port leading to the given neighbor.
+	public PortConfig portTo(String neighborID) {
+		return ports.getOrDefault(neighborID, PortConfig.DEFAULT);
+	}
+}
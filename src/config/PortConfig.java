@@ -0,0 +1,55 @@
+package config;
+
+import java.util.Set;
+
+/// Stores the VLAN configuration of a single (virtual) switch port, i.e. the link to one neighbor.
+///
+/// _As this is a record class, fields are called as methods of the same name._
+///
+/// @param mode       Whether the port is an access port or a trunk port
+/// @param vlans      The VLAN IDs the port is a member of. Access ports always have exactly one.
+///                   On a trunk port, `null` means "every VLAN" and an empty set means "no VLANs".
+/// @param nativeVlan The VLAN that untagged frames arriving on this port are placed in.
+///                   For access ports, this is the same as the access VLAN.
+///
+/// @author KxtR-27 (Kat)
+/// @see PortMode
+/// @see DeviceConfig
+public record PortConfig(
+		PortMode mode,
+		Set<Integer> vlans,
+		int nativeVlan
+) {
+	/// The VLAN that ports belong to when `config.json` doesn't say otherwise.
+	public static final int DEFAULT_VLAN = 1;
+
+	/// The lowest usable VLAN ID. VLAN 0 is reserved for untagged frames.
+	public static final int MIN_VLAN = 1;
+
+	/// The highest usable VLAN ID. VLAN 4095 is reserved by 802.1Q.
+	public static final int MAX_VLAN = 4094;
+
+	/// An access port on the default VLAN, used for any port missing from `config.json`.
+	/// This keeps configs without VLANs behaving like one big flood domain.
+	static final PortConfig DEFAULT = new PortConfig(PortMode.ACCESS, Set.of(DEFAULT_VLAN), DEFAULT_VLAN);
+
+	/// Returns the single VLAN of an access port.
+	///
+	/// @throws IllegalStateException if this is a trunk port
+	public int accessVlan() {
+		if (mode != PortMode.ACCESS)
+			throw new IllegalStateException("Trunk ports do not have a single access VLAN.");
+
+		return vlans.iterator().next();
+	}
+
+	/// Whether this port carries every VLAN rather than a specific list.
+	public boolean carriesAllVlans() {
+		return vlans == null;
+	}
+
+	/// Whether frames of the given VLAN may enter or leave through this port.
+	public boolean carries(int vlanID) {
+		return carriesAllVlans() || vlans.contains(vlanID);
+	}
+}
@@ -0,0 +1,18 @@
+package config;
+
+import com.google.gson.annotations.SerializedName;
+
+/// The two ways a switch port can participate in VLANs.
+///
+/// - `ACCESS` ports belong to exactly one VLAN and tag every frame they receive with it.
+/// - `TRUNK` ports carry frames for several VLANs and trust the tag already on the frame.
+///
+/// @author KxtR-27 (Kat)
+/// @see PortConfig
+public enum PortMode {
+	@SerializedName("access")
+	ACCESS,
+
+	@SerializedName("trunk")
+	TRUNK
+}
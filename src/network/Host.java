@@ -34,7 +34,7 @@ public class Host extends NetworkDevice {
 		String destinationID = consoleScanner.nextLine();
 
 		System.out.printf("Message sent!%n%n");
-		return new MessageFrame(this.id, destinationID, message);
+		return new MessageFrame(this.id, destinationID, MessageFrame.UNTAGGED, message);
 	}
 
 	/// Creates a concurrent packet listener and
@@ -7,20 +7,31 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Arrays;
 
-/// Stores the three values for a frame: the source, the destination, and the message.
+/// Stores the four values for a frame: the source, the destination, the VLAN tag, and the message.
 /// Capable of converting to and from a datagram packet.
 public record MessageFrame(
 		String sourceID,
 		String destinationID,
+		int vlanID,
 		String message
 ) {
+	/// The VLAN ID of a frame that hasn't been tagged yet.
+	/// Hosts send untagged frames; the switch's access port assigns the real VLAN.
+	public static final int UNTAGGED = 0;
+
+	/// Returns a copy of this frame tagged with the given VLAN.
+	public MessageFrame withVlan(int vlanID) {
+		return new MessageFrame(sourceID, destinationID, vlanID, message);
+	}
+
 	/// Attempts to reconstruct a packet into a MessageFrame.<br>
 	/// **Will not work with packets that don't match the format.**
 	public static MessageFrame fromPacket(DatagramPacket messagePacket) {
 		try {
 			byte[] contents = Arrays.copyOf(messagePacket.getData(), messagePacket.getLength());
-			String[] frameData = new String(contents).split(":");
-			return new MessageFrame(frameData[0], frameData[1], frameData[2]);
+			// limit the split so that colons in the message itself survive
+			String[] frameData = new String(contents).split(":", 4);
+			return new MessageFrame(frameData[0], frameData[1], Integer.parseInt(frameData[2]), frameData[3]);
 		}
 		catch (RuntimeException e) {
 			throw new IllegalArgumentException("Attempted to convert a packet that is not a message.", e);
@@ -49,6 +60,6 @@ public record MessageFrame(
 
 	@Override
 	public String toString() {
-		return String.format("%s:%s:%s", sourceID, destinationID, message);
+		return String.format("%s:%s:%d:%s", sourceID, destinationID, vlanID, message);
 	}
 }
@@ -2,6 +2,8 @@ package network;
 
 import config.ConfigParser;
 import config.DeviceConfig;
+import config.PortConfig;
+import config.PortMode;
 
 import java.io.IOException;
 import java.net.SocketException;
@@ -11,15 +13,16 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class Switch extends NetworkDevice {
-	/// A switch table that logs each source ID, virtual port, and time updated into a table form.
-	private final Map<String, SwitchTableEntry> switchTable;
+	/// One switch table per VLAN, each logging source IDs, virtual ports, and times updated into a table form.
+	/// Keeping the tables apart means a device learned on one VLAN is never forwarded to from another.
+	private final Map<Integer, Map<String, SwitchTableEntry>> switchTables;
 
 	/// A map of virtual switch ports for each logged ID.
 	private final Map<String, String> virtualPorts;
 
 	private Switch(String[] args) throws SocketException {
 		super(args);
-		switchTable = new HashMap<>();
+		switchTables = new HashMap<>();
 		virtualPorts = new HashMap<>();
 		configureVirtualPorts();
 	}
@@ -36,32 +39,54 @@ public class Switch extends NetworkDevice {
 		}
 	}
 
-	/// Adds/updates the source in the table,
-	/// then sends the message if the table knows the destination, otherwise it floods.
+	/// Tags the message with the VLAN of the port it arrived on
+	/// (a trunk's native VLAN if the frame arrived untagged),
+	/// adds/updates the source in that VLAN's table,
+	/// then sends the message if the table knows the destination, otherwise it floods within the VLAN.
 	private void transferMessage(MessageFrame message) throws IOException {
-		if (!inTable(message.sourceID())) {
-			addTableEntry(message.sourceID());
-			printSwitchTable();
+		String ingressNeighbor = ConfigParser.previousRecipient(message.sourceID(), id);
+		PortConfig ingressPort = myConfig.portTo(ingressNeighbor);
+
+		int vlanID = switch (ingressPort.mode()) {
+			case ACCESS -> ingressPort.accessVlan();
+			case TRUNK -> message.vlanID() == MessageFrame.UNTAGGED
+					? ingressPort.nativeVlan()
+					: message.vlanID();
+		};
+
+		if (!ingressPort.carries(vlanID)) {
+			System.out.printf("Dropped frame from %s: VLAN %d not allowed on port to %s%n%n",
+					message.sourceID(), vlanID, ingressNeighbor);
+			return;
 		}
 
-		if (inTable(message.destinationID()))
-			sendMessage(message, ConfigParser.nextRecipient(message.destinationID(), id));
+		message = message.withVlan(vlanID);
+		Map<String, SwitchTableEntry> switchTable = tableFor(vlanID);
+
+		if (!switchTable.containsKey(message.sourceID())) {
+			addTableEntry(switchTable, message.sourceID(), ingressNeighbor);
+			printSwitchTable(vlanID, switchTable);
+		}
+
+		if (switchTable.containsKey(message.destinationID()))
+			forwardMessage(message);
 		else
-			floodMessage(message);
+			floodMessage(message, ingressNeighbor);
 	}
 
-	private boolean inTable(String deviceID) {
-		return switchTable.containsKey(deviceID);
+	/// Returns the switch table for a VLAN, creating it the first time the VLAN is seen
+	private Map<String, SwitchTableEntry> tableFor(int vlanID) {
+		return switchTables.computeIfAbsent(vlanID, _ -> new HashMap<>());
 	}
 
-	private void addTableEntry(String deviceID) {
-		virtualPorts.putIfAbsent(deviceID, virtualPorts.get(ConfigParser.previousRecipient(deviceID, id)));
+	private void addTableEntry(Map<String, SwitchTableEntry> switchTable, String deviceID, String ingressNeighbor) {
+		virtualPorts.putIfAbsent(deviceID, virtualPorts.get(ingressNeighbor));
 		switchTable.put(deviceID, new SwitchTableEntry(virtualPorts.get(deviceID)));
 	}
 
-	/// Prints the formatted switch table in its current state
-	private void printSwitchTable() {
-		System.out.printf("Switch %s:%n", id);
+	/// Prints the formatted switch table of a VLAN in its current state
+	private void printSwitchTable(int vlanID, Map<String, SwitchTableEntry> switchTable) {
+		System.out.printf("Switch %s (VLAN %d):%n", id, vlanID);
 		System.out.printf("%s%n", "-".repeat(52));
 		System.out.printf("Device ID | %-21s | Time%n", "Virtual Port");
 
@@ -71,14 +96,34 @@ public class Switch extends NetworkDevice {
 		System.out.printf("%n");
 	}
 
-	/// When the source of the message is not in the table,
-	/// flood it to all neighbors except the neighbor who sent it
-	private void floodMessage(MessageFrame message) throws IOException {
-		String previousRecipient = ConfigParser.previousRecipient(message.sourceID(), id);
+	/// When the destination is in the VLAN's table, send the message toward it,
+	/// as long as the port it would leave through is a member of the message's VLAN
+	private void forwardMessage(MessageFrame message) throws IOException {
+		String nextRecipient = ConfigParser.nextRecipient(message.destinationID(), id);
 
+		if (myConfig.portTo(nextRecipient).carries(message.vlanID()))
+			sendThroughPort(message, nextRecipient);
+		else
+			System.out.printf("Dropped frame to %s: VLAN %d not allowed on port to %s%n%n",
+					message.destinationID(), message.vlanID(), nextRecipient);
+	}
+
+	/// When the destination of the message is not in the table,
+	/// flood it to all neighbors in the message's VLAN except the neighbor who sent it
+	private void floodMessage(MessageFrame message, String ingressNeighbor) throws IOException {
 		for (String neighbor : myConfig.neighbors())
-			if (!neighbor.equals(previousRecipient))
-				sendMessage(message, neighbor);
+			if (!neighbor.equals(ingressNeighbor) && myConfig.portTo(neighbor).carries(message.vlanID()))
+				sendThroughPort(message, neighbor);
+	}
+
+	/// Sends the message to a neighbor, untagging it if the port is an access port.
+	/// Only trunk ports pass the VLAN tag along, so hosts never see it
+	/// and no neighbor ends up trusting a tag from an access link.
+	private void sendThroughPort(MessageFrame message, String neighborID) throws IOException {
+		if (myConfig.portTo(neighborID).mode() == PortMode.ACCESS)
+			sendMessage(message.withVlan(MessageFrame.UNTAGGED), neighborID);
+		else
+			sendMessage(message, neighborID);
 	}
 
 	/// Initiates the receive + transfer loop